@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request of the Spring Boot backend with and without the fast-start
+# optimizations (Spring AOT + AppCDS). Both variants run the same extracted jar from
+# target/fast-start, only the JVM flags differ. Uses the java on the PATH, which must be the JVM
+# the archive was trained with.
+#
+# Prerequisites:
+#   ./mvnw -Pfast-start verify -DskipTests
+#   docker compose up -d   (MariaDB from the repository root, the health check needs it)
+#
+# Usage: scripts/measure-startup.sh [runs]   (default: 5)
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8080}"
+URL="http://localhost:${PORT}/api/actuator/health"
+APP_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/fast-start"
+JAR="vmsg-0.0.1-SNAPSHOT.jar"
+
+if [[ ! -f "${APP_DIR}/${JAR}" || ! -f "${APP_DIR}/application.jsa" ]]; then
+  echo "Missing ${APP_DIR}/${JAR} or application.jsa - run './mvnw -Pfast-start verify' first" >&2
+  exit 1
+fi
+
+# A dynamic CDS archive only loads on the JVM build that dumped it, otherwise the JVM silently
+# runs without it. -Xshare:on turns that into an error.
+if ! (cd "${APP_DIR}" && java -Xshare:on -XX:SharedArchiveFile=application.jsa -cp "${JAR}" -version >/dev/null 2>&1); then
+  echo "application.jsa cannot be used by $(command -v java) - train it with the same JVM" >&2
+  exit 1
+fi
+
+# Prints the milliseconds from JVM launch until the first successful HTTP request
+measure() {
+  local start end pid
+  start=$(date +%s%N)
+  (cd "${APP_DIR}" && exec java "$@" -Dspring.profiles.active=prod -jar "${JAR}" >/dev/null 2>&1) &
+  pid=$!
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "Application exited before serving a request" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  end=$(date +%s%N)
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo $(((end - start) / 1000000))
+}
+
+# Prints the median of the given numbers
+median() {
+  printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_variant() {
+  local name="$1"
+  shift
+  local results=()
+  for ((i = 1; i <= RUNS; i++)); do
+    results+=("$(measure "$@")")
+  done
+  printf '%-10s runs: %-40s median: %s ms\n' "${name}" "${results[*]}" "$(median "${results[@]}")"
+}
+
+run_variant "baseline"
+run_variant "fast-start" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
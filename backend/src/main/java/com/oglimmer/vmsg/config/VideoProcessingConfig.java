@@ -0,0 +1,16 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "video-processing")
+@Data
+public class VideoProcessingConfig {
+  // A claim older than this counts as abandoned, so it must exceed the longest encode
+  private Duration claimTimeout;
+  private Duration recoveryInterval;
+}
@@ -1,6 +1,7 @@
 /* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
 package com.oglimmer.vmsg.controller;
 
+import com.oglimmer.vmsg.dto.KeyframeIndexResponse;
 import com.oglimmer.vmsg.dto.RecordingDetailResponse;
 import com.oglimmer.vmsg.dto.RecordingResponse;
 import com.oglimmer.vmsg.entity.Recording;
@@ -43,6 +44,18 @@ public class RecordingController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Keyframe index of a recording. With {@code t} (seconds) only the keyframe a seek to that time
+   * has to start from is returned, clients then request {@code Range: bytes=<offset>-} from the
+   * stream endpoint after loading the header (everything before the first keyframe's offset).
+   */
+  @GetMapping("/{uuid}/keyframes")
+  public ResponseEntity<KeyframeIndexResponse> getKeyframeIndex(
+      @PathVariable String uuid, @RequestParam(value = "t", required = false) Double seekSeconds) {
+    KeyframeIndexResponse response = recordingService.getKeyframeIndex(uuid, seekSeconds);
+    return ResponseEntity.ok(response);
+  }
+
   @GetMapping("/{uuid}/stream")
   public ResponseEntity<?> streamRecording(
       @PathVariable String uuid,
@@ -88,8 +101,13 @@ public class RecordingController {
       }
       headers.setContentType(contentType);
 
-      // Always return full content for now
-      // TODO: Implement proper Range request support with partial file reading
+      // Range request, e.g. a seek to an offset from the keyframe index. Spring MVC answers it
+      // for Resource bodies (206 with Content-Range, or 416), so no full Content-Length here
+      if (rangeHeader != null) {
+        log.info("Returning range {} of {} bytes", rangeHeader, fileSize);
+        return ResponseEntity.ok().headers(headers).body(resource);
+      }
+
       headers.setContentLength(fileSize);
 
       log.info("Returning full content: {} bytes", fileSize);
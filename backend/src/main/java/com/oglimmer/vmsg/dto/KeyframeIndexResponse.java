@@ -0,0 +1,12 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class KeyframeIndexResponse {
+  private String uuid;
+  private Long fileSize;
+  private List<KeyframeResponse> keyframes;
+}
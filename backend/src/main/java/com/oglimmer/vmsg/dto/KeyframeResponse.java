@@ -0,0 +1,10 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.dto;
+
+import lombok.Data;
+
+@Data
+public class KeyframeResponse {
+  private Long timeMs;
+  private Long offset;
+}
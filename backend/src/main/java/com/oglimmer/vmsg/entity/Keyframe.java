@@ -0,0 +1,10 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.entity;
+
+/**
+ * Entry of a recording's seek index.
+ *
+ * @param timeMs presentation time of the keyframe in milliseconds
+ * @param offset absolute byte offset in the file of the cluster starting with this keyframe
+ */
+public record Keyframe(long timeMs, long offset) {}
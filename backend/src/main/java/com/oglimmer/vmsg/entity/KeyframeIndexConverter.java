@@ -0,0 +1,46 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Stores the keyframe index compactly as "timeMs:offset" pairs separated by commas. */
+@Converter
+public class KeyframeIndexConverter implements AttributeConverter<List<Keyframe>, String> {
+
+  @Override
+  public String convertToDatabaseColumn(List<Keyframe> keyframes) {
+    if (keyframes == null) {
+      return null;
+    }
+    StringBuilder sb = new StringBuilder();
+    for (Keyframe keyframe : keyframes) {
+      if (!sb.isEmpty()) {
+        sb.append(',');
+      }
+      sb.append(keyframe.timeMs()).append(':').append(keyframe.offset());
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public List<Keyframe> convertToEntityAttribute(String value) {
+    if (value == null) {
+      return null;
+    }
+    List<Keyframe> keyframes = new ArrayList<>();
+    if (value.isEmpty()) {
+      return keyframes;
+    }
+    for (String entry : value.split(",")) {
+      int colon = entry.indexOf(':');
+      keyframes.add(
+          new Keyframe(
+              Long.parseLong(entry.substring(0, colon)),
+              Long.parseLong(entry.substring(colon + 1))));
+    }
+    return keyframes;
+  }
+}
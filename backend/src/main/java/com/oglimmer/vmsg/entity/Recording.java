@@ -3,6 +3,7 @@ package com.oglimmer.vmsg.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -44,6 +45,17 @@ public class Recording {
   @Column(length = 500)
   private String processingError;
 
+  // Set when a worker claims the recording, so it is encoded only once
+  private LocalDateTime processingStartedAt;
+
+  @Convert(converter = KeyframeIndexConverter.class)
+  @Column(columnDefinition = "LONGTEXT")
+  private List<Keyframe> keyframes;
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @CreationTimestamp
   @Column(updatable = false)
   private LocalDateTime createdAt;
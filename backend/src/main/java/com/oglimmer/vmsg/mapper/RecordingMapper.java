@@ -1,8 +1,11 @@
 /* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
 package com.oglimmer.vmsg.mapper;
 
+import com.oglimmer.vmsg.dto.KeyframeIndexResponse;
+import com.oglimmer.vmsg.dto.KeyframeResponse;
 import com.oglimmer.vmsg.dto.RecordingDetailResponse;
 import com.oglimmer.vmsg.dto.RecordingResponse;
+import com.oglimmer.vmsg.entity.Keyframe;
 import com.oglimmer.vmsg.entity.Recording;
 import org.mapstruct.Mapper;
 
@@ -11,4 +14,8 @@ public interface RecordingMapper {
   RecordingResponse toResponse(Recording entity);
 
   RecordingDetailResponse toDetailResponse(Recording entity);
+
+  KeyframeIndexResponse toKeyframeIndexResponse(Recording entity);
+
+  KeyframeResponse toKeyframeResponse(Keyframe keyframe);
 }
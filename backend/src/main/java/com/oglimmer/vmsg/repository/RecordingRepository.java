@@ -2,11 +2,43 @@
 package com.oglimmer.vmsg.repository;
 
 import com.oglimmer.vmsg.entity.Recording;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface RecordingRepository extends JpaRepository<Recording, Long> {
   Optional<Recording> findByUuid(String uuid);
+
+  /**
+   * Atomically mark a recording waiting for processing as claimed. A claim from before {@code
+   * staleBefore} was abandoned by its worker and is taken over.
+   *
+   * @return 1 if the caller owns the job now, 0 if it is claimed by a live worker or not processing
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE Recording r SET r.processingStartedAt = :now, r.version = r.version + 1"
+          + " WHERE r.uuid = :uuid"
+          + " AND r.processingStatus = com.oglimmer.vmsg.entity.ProcessingStatus.PROCESSING"
+          + " AND (r.processingStartedAt IS NULL OR r.processingStartedAt < :staleBefore)")
+  int claimForProcessing(
+      @Param("uuid") String uuid,
+      @Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore);
+
+  /** Recordings still processing whose claim (or upload, if never claimed) is older than given. */
+  @Query(
+      "SELECT r.uuid FROM Recording r"
+          + " WHERE r.processingStatus = com.oglimmer.vmsg.entity.ProcessingStatus.PROCESSING"
+          + " AND (r.processingStartedAt < :staleBefore"
+          + " OR (r.processingStartedAt IS NULL AND r.createdAt < :staleBefore))")
+  List<String> findStaleProcessingUuids(@Param("staleBefore") LocalDateTime staleBefore);
 }
@@ -0,0 +1,216 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.service;
+
+import com.oglimmer.vmsg.entity.Keyframe;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for extracting a keyframe seek index (timestamp to byte offset) from a WebM file. The
+ * index is read from the Matroska Cues element, which ffmpeg writes with one entry per video
+ * keyframe, so clients can turn a seek time into a single exact range request.
+ */
+@Service
+@Slf4j
+public class KeyframeIndexService {
+
+  private static final long EBML_HEADER_ID = 0x1A45DFA3L;
+  private static final long SEGMENT_ID = 0x18538067L;
+  private static final long INFO_ID = 0x1549A966L;
+  private static final long TIMESTAMP_SCALE_ID = 0x2AD7B1L;
+  private static final long CUES_ID = 0x1C53BB6BL;
+  private static final long CUE_POINT_ID = 0xBBL;
+  private static final long CUE_TIME_ID = 0xB3L;
+  private static final long CUE_TRACK_POSITIONS_ID = 0xB7L;
+  private static final long CUE_CLUSTER_POSITION_ID = 0xF1L;
+
+  private static final long UNKNOWN_SIZE = -1;
+  private static final long DEFAULT_TIMESTAMP_SCALE = 1_000_000; // 1 ms in ns
+  private static final long MAX_ELEMENT_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * Read the Cues of a WebM file and return its keyframes ordered by time.
+   *
+   * @param videoPath Path to the WebM file
+   * @return the keyframe index, empty if the file has no Cues
+   * @throws IOException if the file cannot be read or is not a valid WebM file
+   */
+  public List<Keyframe> extractKeyframes(Path videoPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(videoPath, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+
+      ElementHeader header = readHeader(channel, 0);
+      if (header.id() != EBML_HEADER_ID) {
+        throw new IOException("Not a WebM file: " + videoPath);
+      }
+
+      header = readHeader(channel, header.end());
+      if (header.id() != SEGMENT_ID) {
+        throw new IOException("WebM file has no Segment: " + videoPath);
+      }
+      long segmentStart = header.dataStart();
+      long segmentEnd = header.size() == UNKNOWN_SIZE ? fileSize : Math.min(header.end(), fileSize);
+
+      // Walk the top-level elements until the Cues are found (front or back of the file)
+      long timestampScale = DEFAULT_TIMESTAMP_SCALE;
+      long position = segmentStart;
+      while (position < segmentEnd) {
+        header = readHeader(channel, position);
+        if (header.size() == UNKNOWN_SIZE) {
+          break; // live-style cluster, nothing after it can be located
+        }
+        if (header.id() == INFO_ID) {
+          timestampScale = parseTimestampScale(readData(channel, header));
+        } else if (header.id() == CUES_ID) {
+          List<Keyframe> keyframes =
+              parseCues(readData(channel, header), segmentStart, timestampScale);
+          log.info("Extracted {} keyframes from {}", keyframes.size(), videoPath.getFileName());
+          return keyframes;
+        }
+        position = header.end();
+      }
+
+      log.warn("No Cues found in {}", videoPath.getFileName());
+      return new ArrayList<>();
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Malformed WebM file: " + videoPath, e);
+    }
+  }
+
+  private static long parseTimestampScale(ByteBuffer info) throws IOException {
+    long[] timestampScale = {DEFAULT_TIMESTAMP_SCALE};
+    forEachChild(
+        info,
+        (id, data) -> {
+          if (id == TIMESTAMP_SCALE_ID) {
+            timestampScale[0] = readUnsigned(data);
+          }
+        });
+    return timestampScale[0];
+  }
+
+  private static List<Keyframe> parseCues(ByteBuffer cues, long segmentStart, long timestampScale)
+      throws IOException {
+    List<Keyframe> keyframes = new ArrayList<>();
+    forEachChild(
+        cues,
+        (id, cuePoint) -> {
+          if (id != CUE_POINT_ID) {
+            return;
+          }
+          long[] entry = {-1, -1}; // cue time, cluster position
+          forEachChild(
+              cuePoint,
+              (cueId, cueData) -> {
+                if (cueId == CUE_TIME_ID) {
+                  entry[0] = readUnsigned(cueData);
+                } else if (cueId == CUE_TRACK_POSITIONS_ID && entry[1] < 0) {
+                  forEachChild(
+                      cueData,
+                      (positionId, positionData) -> {
+                        if (positionId == CUE_CLUSTER_POSITION_ID) {
+                          entry[1] = readUnsigned(positionData);
+                        }
+                      });
+                }
+              });
+          if (entry[0] >= 0 && entry[1] >= 0) {
+            keyframes.add(
+                new Keyframe(entry[0] * timestampScale / 1_000_000, segmentStart + entry[1]));
+          }
+        });
+
+    keyframes.sort((a, b) -> Long.compare(a.timeMs(), b.timeMs()));
+    return keyframes;
+  }
+
+  private static ElementHeader readHeader(FileChannel channel, long position) throws IOException {
+    // An element ID is at most 4 bytes and its size at most 8 bytes
+    ByteBuffer buffer = ByteBuffer.allocate(12);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) <= 0) {
+        break; // element close to the end of the file
+      }
+    }
+    buffer.flip();
+
+    long id = readVint(buffer, true);
+    long size = readVint(buffer, false);
+    return new ElementHeader(id, size, position + buffer.position());
+  }
+
+  private static ByteBuffer readData(FileChannel channel, ElementHeader header) throws IOException {
+    if (header.size() > MAX_ELEMENT_SIZE) {
+      throw new IOException("WebM element too large: " + header.size() + " bytes");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) header.size());
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, header.dataStart() + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of WebM file");
+      }
+    }
+    return buffer.flip();
+  }
+
+  private static void forEachChild(ByteBuffer parent, ChildHandler handler) throws IOException {
+    while (parent.hasRemaining()) {
+      long id = readVint(parent, true);
+      long size = readVint(parent, false);
+      if (size == UNKNOWN_SIZE || size > parent.remaining()) {
+        throw new IOException("Invalid WebM element size");
+      }
+      ByteBuffer data = parent.slice(parent.position(), (int) size);
+      parent.position(parent.position() + (int) size);
+      handler.accept(id, data);
+    }
+  }
+
+  /**
+   * Read an EBML variable-length integer. IDs keep their length marker bit, sizes don't and use all
+   * data bits set to signal an unknown size.
+   */
+  private static long readVint(ByteBuffer buffer, boolean keepMarker) throws IOException {
+    int first = buffer.get() & 0xFF;
+    if (first == 0) {
+      throw new IOException("Invalid EBML variable-length integer");
+    }
+    int length = Integer.numberOfLeadingZeros(first) - 23;
+    int dataMask = 0xFF >> length;
+
+    long value = keepMarker ? first : first & dataMask;
+    boolean allOnes = (first & dataMask) == dataMask;
+    for (int i = 1; i < length; i++) {
+      int next = buffer.get() & 0xFF;
+      value = (value << 8) | next;
+      allOnes &= next == 0xFF;
+    }
+    return !keepMarker && allOnes ? UNKNOWN_SIZE : value;
+  }
+
+  private static long readUnsigned(ByteBuffer data) {
+    long value = 0;
+    while (data.hasRemaining()) {
+      value = (value << 8) | (data.get() & 0xFF);
+    }
+    return value;
+  }
+
+  private record ElementHeader(long id, long size, long dataStart) {
+    long end() {
+      return dataStart + size;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ChildHandler {
+    void accept(long id, ByteBuffer data) throws IOException;
+  }
+}
@@ -0,0 +1,37 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.service;
+
+import com.oglimmer.vmsg.config.VideoProcessingConfig;
+import com.oglimmer.vmsg.repository.RecordingRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Dispatches recordings again whose processing got lost, e.g. because the pod running the encode
+ * was scaled down. Every pod runs this, the conditional claim lets only one of them encode.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessingRecoveryService {
+
+  private final RecordingRepository recordingRepository;
+  private final VideoProcessingService videoProcessingService;
+  private final VideoProcessingConfig videoProcessingConfig;
+
+  @Scheduled(
+      initialDelayString = "${video-processing.recovery-interval}",
+      fixedDelayString = "${video-processing.recovery-interval}")
+  public void resumeStaleProcessing() {
+    LocalDateTime staleBefore = LocalDateTime.now().minus(videoProcessingConfig.getClaimTimeout());
+    List<String> uuids = recordingRepository.findStaleProcessingUuids(staleBefore);
+    for (String uuid : uuids) {
+      log.warn("Processing of recording {} stalled, dispatching it again", uuid);
+      videoProcessingService.processVideoAsync(uuid);
+    }
+  }
+}
@@ -1,20 +1,26 @@
 /* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
 package com.oglimmer.vmsg.service;
 
+import com.oglimmer.vmsg.dto.KeyframeIndexResponse;
 import com.oglimmer.vmsg.dto.RecordingDetailResponse;
 import com.oglimmer.vmsg.dto.RecordingResponse;
+import com.oglimmer.vmsg.entity.Keyframe;
 import com.oglimmer.vmsg.entity.ProcessingStatus;
 import com.oglimmer.vmsg.entity.Recording;
 import com.oglimmer.vmsg.exception.RecordingNotFoundException;
 import com.oglimmer.vmsg.mapper.RecordingMapper;
 import com.oglimmer.vmsg.repository.RecordingRepository;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -51,7 +57,14 @@ public class RecordingService {
 
     // Start async re-encoding in background via separate service
     // Must use separate service to ensure Spring's @Async proxy works
-    videoProcessingService.processVideoAsync(uuid);
+    // Only dispatch after commit, otherwise the worker may not see the new row yet
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            videoProcessingService.processVideoAsync(uuid);
+          }
+        });
 
     return recordingMapper.toResponse(savedRecording);
   }
@@ -76,6 +89,43 @@ public class RecordingService {
     return fileStorageService.getFile(recording.getFilePath());
   }
 
+  public KeyframeIndexResponse getKeyframeIndex(String uuid, Double seekSeconds) {
+    Recording recording = getRecordingEntityByUuid(uuid);
+    KeyframeIndexResponse response = recordingMapper.toKeyframeIndexResponse(recording);
+    if (seekSeconds != null) {
+      response.setKeyframes(
+          findKeyframeAt(recording, Math.round(seekSeconds * 1000))
+              .map(recordingMapper::toKeyframeResponse)
+              .stream()
+              .toList());
+    }
+    return response;
+  }
+
+  /**
+   * Find the last keyframe at or before the given time, i.e. where playback for a seek to that time
+   * has to start.
+   *
+   * @return the keyframe or empty if the recording has no keyframe index
+   */
+  public Optional<Keyframe> findKeyframeAt(Recording recording, long timeMs) {
+    List<Keyframe> keyframes = recording.getKeyframes();
+    if (keyframes == null || keyframes.isEmpty()) {
+      return Optional.empty();
+    }
+    int low = 0;
+    int high = keyframes.size() - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (keyframes.get(mid).timeMs() <= timeMs) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return Optional.of(keyframes.get(low));
+  }
+
   public Recording getRecordingEntityByUuid(String uuid) {
     return recordingRepository
         .findByUuid(uuid)
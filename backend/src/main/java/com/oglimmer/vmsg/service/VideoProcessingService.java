@@ -1,19 +1,29 @@
 /* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
 package com.oglimmer.vmsg.service;
 
+import com.oglimmer.vmsg.config.VideoProcessingConfig;
+import com.oglimmer.vmsg.entity.Keyframe;
 import com.oglimmer.vmsg.entity.ProcessingStatus;
 import com.oglimmer.vmsg.entity.Recording;
 import com.oglimmer.vmsg.exception.RecordingNotFoundException;
 import com.oglimmer.vmsg.repository.RecordingRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Separate service for async video processing to ensure Spring's @Async proxy works correctly.
  * Calling @Async methods from the same class doesn't work due to Spring's proxy mechanism.
+ *
+ * <p>The method is deliberately not @Transactional: ffmpeg runs for minutes and must not hold a
+ * pooled DB connection. Every repository call below runs in its own short transaction, and the
+ * {@code @Version} on {@link Recording} rejects the final update if the row changed meanwhile.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,30 +33,40 @@ public class VideoProcessingService {
   private final RecordingRepository recordingRepository;
   private final VideoReencodingService videoReencodingService;
   private final FileStorageService fileStorageService;
+  private final KeyframeIndexService keyframeIndexService;
+  private final VideoProcessingConfig videoProcessingConfig;
 
   @Async
-  @Transactional
   public void processVideoAsync(String uuid) {
     log.info("Starting async video processing for UUID: {}", uuid);
 
     try {
-      Recording recording =
-          recordingRepository
-              .findByUuid(uuid)
-              .orElseThrow(
-                  () -> new RecordingNotFoundException("Recording not found with UUID: " + uuid));
+      // Transaction 1: claim the job
+      Recording recording = claimRecording(uuid);
+      if (recording == null) {
+        return;
+      }
 
-      // Re-encode video to ensure proper spec compliance
-      videoReencodingService.reencodeVideo(
-          fileStorageService.getAbsolutePath(recording.getFilePath()));
+      // No transaction: re-encode video to ensure proper spec compliance
+      Path videoPath = fileStorageService.getAbsolutePath(recording.getFilePath());
+      videoReencodingService.reencodeVideo(videoPath);
       log.info("Video re-encoding completed for UUID: {}", uuid);
 
+      // Seek index is optional, the video still plays without it
+      List<Keyframe> keyframes = null;
+      try {
+        keyframes = keyframeIndexService.extractKeyframes(videoPath);
+      } catch (IOException e) {
+        log.warn("Failed to extract keyframe index for UUID: {}", uuid, e);
+      }
+
       // Get file size after re-encoding (may have changed)
       long fileSize = fileStorageService.getFileSize(recording.getFilePath());
 
-      // Update recording with new file size and status
+      // Transaction 2: commit the result, fails if the recording was modified meanwhile
       recording.setFileSize(fileSize);
       recording.setContentType("video/webm"); // Always WebM after re-encoding
+      recording.setKeyframes(keyframes);
       recording.setProcessingStatus(ProcessingStatus.READY);
       recording.setProcessingError(null);
 
@@ -54,23 +74,50 @@ public class VideoProcessingService {
 
       log.info("Recording processing completed successfully for UUID: {}", uuid);
 
+    } catch (ObjectOptimisticLockingFailureException e) {
+      // Someone else updated the recording while we encoded - their state wins
+      log.warn("Recording {} was modified during processing, discarding result", uuid, e);
     } catch (Exception e) {
       log.error("Failed to process video for UUID: {}", uuid, e);
+      markFailed(uuid, e);
+    }
+  }
 
-      // Update recording with error status
-      try {
-        Recording recording =
-            recordingRepository
-                .findByUuid(uuid)
-                .orElseThrow(
-                    () -> new RecordingNotFoundException("Recording not found with UUID: " + uuid));
+  /**
+   * Claim the recording with a conditional update, then load it. The returned entity is detached
+   * and carries the version the result is later committed against. A claim older than the claim
+   * timeout is taken over, its worker is assumed dead; should it still finish, its save fails on
+   * the version bumped by this claim.
+   *
+   * @return the recording or null if another worker claimed it or it is no longer processing
+   */
+  private Recording claimRecording(String uuid) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minus(videoProcessingConfig.getClaimTimeout());
+    if (recordingRepository.claimForProcessing(uuid, now, staleBefore) == 0) {
+      log.warn("Recording {} is already claimed or not processing, skipping", uuid);
+      return null;
+    }
+    return recordingRepository
+        .findByUuid(uuid)
+        .orElseThrow(
+            () -> new RecordingNotFoundException("Recording not found with UUID: " + uuid));
+  }
 
-        recording.setProcessingStatus(ProcessingStatus.FAILED);
-        recording.setProcessingError(e.getMessage());
-        recordingRepository.save(recording);
-      } catch (Exception saveError) {
-        log.error("Failed to save error status for UUID: {}", uuid, saveError);
-      }
+  private void markFailed(String uuid, Exception cause) {
+    // Update recording with error status
+    try {
+      Recording recording =
+          recordingRepository
+              .findByUuid(uuid)
+              .orElseThrow(
+                  () -> new RecordingNotFoundException("Recording not found with UUID: " + uuid));
+
+      recording.setProcessingStatus(ProcessingStatus.FAILED);
+      recording.setProcessingError(cause.getMessage());
+      recordingRepository.save(recording);
+    } catch (Exception saveError) {
+      log.error("Failed to save error status for UUID: {}", uuid, saveError);
     }
   }
 }
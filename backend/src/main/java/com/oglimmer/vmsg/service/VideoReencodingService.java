@@ -21,9 +21,13 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class VideoReencodingService {
 
+  /** Maximum distance between keyframes, bounds how far a player has to decode after a seek. */
+  private static final int KEYFRAME_INTERVAL_SECONDS = 2;
+
   /**
    * Re-encode a WebM video file using ffmpeg with VP9 video codec and Opus audio codec. The
-   * original file is replaced with the re-encoded version.
+   * original file is replaced with the re-encoded version. The output has a keyframe at least every
+   * {@value #KEYFRAME_INTERVAL_SECONDS} seconds and its Cues at the front of the file.
    *
    * @param videoPath Path to the video file to re-encode
    * @throws IOException if re-encoding fails
@@ -111,6 +115,8 @@ public class VideoReencodingService {
     command.add("1.5M"); // Maximum bitrate
     command.add("-bufsize");
     command.add("2M"); // Buffer size
+    command.add("-force_key_frames");
+    command.add("expr:gte(t,n_forced*" + KEYFRAME_INTERVAL_SECONDS + ")"); // Dense keyframes
 
     // Audio codec settings - Opus for WebM
     command.add("-c:a");
@@ -125,6 +131,8 @@ public class VideoReencodingService {
     command.add("webm"); // WebM format
     command.add("-avoid_negative_ts");
     command.add("make_zero"); // Avoid negative timestamps
+    command.add("-cues_to_front");
+    command.add("1"); // Write the seek index before the first cluster
 
     command.add(tempPath.toAbsolutePath().toString()); // Output file
     return command;
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS recordings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    content_type VARCHAR(100) NOT NULL,
+    created_at DATETIME(6),
+    duration BIGINT,
+    file_path VARCHAR(500) NOT NULL,
+    file_size BIGINT NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    processing_error VARCHAR(500),
+    processing_status ENUM('FAILED', 'PROCESSING', 'READY') NOT NULL,
+    updated_at DATETIME(6),
+    uuid VARCHAR(36) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_recordings_uuid (uuid)
+);
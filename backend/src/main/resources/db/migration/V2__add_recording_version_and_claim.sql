@@ -0,0 +1,2 @@
+ALTER TABLE recordings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE recordings ADD COLUMN processing_started_at DATETIME(6);
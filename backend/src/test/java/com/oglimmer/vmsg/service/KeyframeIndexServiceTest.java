@@ -0,0 +1,154 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.oglimmer.vmsg.entity.Keyframe;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KeyframeIndexServiceTest {
+
+  private static final byte[] EBML_HEADER = element(0x1A45DFA3, uint(0x4282, 0));
+  // EBML header (5 + 4 bytes) plus Segment ID (4 bytes) and a 1-byte Segment size
+  private static final long SEGMENT_DATA_START = 14;
+
+  private final KeyframeIndexService keyframeIndexService = new KeyframeIndexService();
+
+  @TempDir Path tempDir;
+
+  @Test
+  void readsCuesInFrontOfClusters() throws IOException {
+    byte[] segment =
+        concat(
+            info(1_000_000),
+            element(0x1C53BB6B, cuePoint(2000, 300), cuePoint(0, 100), cuePoint(4000, 900)),
+            element(0x1F43B675, new byte[20]));
+
+    List<Keyframe> keyframes = extract(concat(EBML_HEADER, element(0x18538067, segment)));
+
+    assertThat(keyframes)
+        .containsExactly(
+            new Keyframe(0, SEGMENT_DATA_START + 100),
+            new Keyframe(2000, SEGMENT_DATA_START + 300),
+            new Keyframe(4000, SEGMENT_DATA_START + 900));
+  }
+
+  @Test
+  void readsCuesBehindClustersWithCustomTimestampScale() throws IOException {
+    // 500 µs per tick, multi-byte cluster position
+    byte[] segment =
+        concat(
+            info(500_000),
+            element(0x1F43B675, new byte[200]),
+            element(0x1C53BB6B, cuePoint(10, 0x012345)));
+
+    // Segment is larger than 126 bytes, so its size takes 2 bytes
+    List<Keyframe> keyframes = extract(concat(EBML_HEADER, element(0x18538067, segment)));
+
+    assertThat(keyframes).containsExactly(new Keyframe(5, SEGMENT_DATA_START + 1 + 0x012345));
+  }
+
+  @Test
+  void stopsAtClusterOfUnknownSize() throws IOException {
+    byte[] cluster = concat(id(0x1F43B675), new byte[] {0x01, -1, -1, -1, -1, -1, -1, -1});
+    byte[] segment =
+        concat(info(1_000_000), cluster, new byte[10], element(0x1C53BB6B, cuePoint(0, 5)));
+
+    assertThat(extract(concat(EBML_HEADER, element(0x18538067, segment)))).isEmpty();
+  }
+
+  @Test
+  void readsCuesInSegmentOfUnknownSize() throws IOException {
+    byte[] segment = concat(info(1_000_000), element(0x1C53BB6B, cuePoint(0, 7)));
+    byte[] unknownSizeSegment =
+        concat(id(0x18538067), new byte[] {0x01, -1, -1, -1, -1, -1, -1, -1}, segment);
+
+    // Segment size takes 8 bytes here
+    assertThat(extract(concat(EBML_HEADER, unknownSizeSegment)))
+        .containsExactly(new Keyframe(0, SEGMENT_DATA_START + 7 + 7));
+  }
+
+  @Test
+  void rejectsTruncatedCues() {
+    byte[] segment = concat(info(1_000_000), element(0x1C53BB6B, cuePoint(0, 100)));
+    byte[] file = concat(EBML_HEADER, element(0x18538067, segment));
+
+    assertThatThrownBy(() -> extract(Arrays.copyOf(file, file.length - 3)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void rejectsTruncatedHeader() {
+    assertThatThrownBy(() -> extract(Arrays.copyOf(EBML_HEADER, 3)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void rejectsNonWebmFile() {
+    assertThatThrownBy(() -> extract(element(0x1F43B675, new byte[4])))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Not a WebM file");
+  }
+
+  private List<Keyframe> extract(byte[] content) throws IOException {
+    Path file = tempDir.resolve("video.webm");
+    Files.write(file, content);
+    return keyframeIndexService.extractKeyframes(file);
+  }
+
+  private static byte[] info(long timestampScale) {
+    return element(0x1549A966, uint(0x2AD7B1, timestampScale));
+  }
+
+  private static byte[] cuePoint(long time, long clusterPosition) {
+    return element(
+        0xBB, uint(0xB3, time), element(0xB7, uint(0xF7, 1), uint(0xF1, clusterPosition)));
+  }
+
+  private static byte[] uint(long id, long value) {
+    int length = Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 7) / 8);
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[length - 1 - i] = (byte) (value >>> (8 * i));
+    }
+    return element(id, data);
+  }
+
+  private static byte[] element(long id, byte[]... children) {
+    byte[] data = concat(children);
+    return concat(id(id), size(data.length), data);
+  }
+
+  private static byte[] id(long id) {
+    int length = (64 - Long.numberOfLeadingZeros(id) + 7) / 8;
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[length - 1 - i] = (byte) (id >>> (8 * i));
+    }
+    return bytes;
+  }
+
+  /** Shortest EBML size encoding, 1 or 2 bytes is enough for these tests. */
+  private static byte[] size(int size) {
+    if (size < 0x7F) {
+      return new byte[] {(byte) (0x80 | size)};
+    }
+    return new byte[] {(byte) (0x40 | (size >> 8)), (byte) size};
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      out.writeBytes(part);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,53 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.oglimmer.vmsg.entity.Keyframe;
+import com.oglimmer.vmsg.entity.Recording;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecordingServiceTest {
+
+  private final RecordingService recordingService = new RecordingService(null, null, null, null);
+
+  @Test
+  void findKeyframeAtBeforeFirstKeyframeReturnsFirst() {
+    assertThat(recordingService.findKeyframeAt(recording(), 0)).contains(new Keyframe(40, 500));
+  }
+
+  @Test
+  void findKeyframeAtExactHit() {
+    assertThat(recordingService.findKeyframeAt(recording(), 4000))
+        .contains(new Keyframe(4000, 9000));
+  }
+
+  @Test
+  void findKeyframeAtBetweenKeyframesReturnsPrevious() {
+    assertThat(recordingService.findKeyframeAt(recording(), 3999))
+        .contains(new Keyframe(2000, 4000));
+  }
+
+  @Test
+  void findKeyframeAtAfterLastKeyframeReturnsLast() {
+    assertThat(recordingService.findKeyframeAt(recording(), 60_000))
+        .contains(new Keyframe(6000, 15000));
+  }
+
+  @Test
+  void findKeyframeAtWithoutIndexIsEmpty() {
+    assertThat(recordingService.findKeyframeAt(new Recording(), 1000)).isEmpty();
+  }
+
+  private static Recording recording() {
+    Recording recording = new Recording();
+    recording.setKeyframes(
+        List.of(
+            new Keyframe(40, 500),
+            new Keyframe(2000, 4000),
+            new Keyframe(4000, 9000),
+            new Keyframe(6000, 15000)));
+    return recording;
+  }
+}
@@ -0,0 +1,167 @@
+/* Copyright (c) 2025 by oglimmer.com / Oliver Zimpasser. All rights reserved. */
+package com.oglimmer.vmsg.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.oglimmer.vmsg.dto.RecordingDetailResponse;
+import com.oglimmer.vmsg.dto.RecordingResponse;
+import com.oglimmer.vmsg.entity.ProcessingStatus;
+import com.oglimmer.vmsg.entity.Recording;
+import com.oglimmer.vmsg.repository.RecordingRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Runs with a single pooled connection, so any transaction held open during the encode would block
+ * every other DB access until the connection timeout.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.hikari.maximum-pool-size=1",
+      "spring.datasource.hikari.connection-timeout=1000",
+      // Flyway needs two connections while migrating, give it its own
+      "spring.flyway.url=${spring.datasource.url}",
+      "spring.flyway.user=${spring.datasource.username}"
+    })
+@ActiveProfiles("test")
+class VideoProcessingServiceTest {
+
+  @TempDir static Path storageDirectory;
+
+  @DynamicPropertySource
+  static void storageProperties(DynamicPropertyRegistry registry) {
+    registry.add("file-storage.base-directory", storageDirectory::toString);
+  }
+
+  @Autowired private RecordingService recordingService;
+  @Autowired private VideoProcessingService videoProcessingService;
+  @Autowired private RecordingRepository recordingRepository;
+  @Autowired private ProcessingRecoveryService processingRecoveryService;
+
+  @MockitoBean private VideoReencodingService videoReencodingService;
+
+  @Test
+  void connectionPoolStaysFreeWhileEncoding() throws Exception {
+    CountDownLatch encodeStarted = new CountDownLatch(1);
+    CountDownLatch releaseEncode = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              encodeStarted.countDown();
+              releaseEncode.await();
+              return null;
+            })
+        .when(videoReencodingService)
+        .reencodeVideo(any());
+
+    RecordingResponse uploaded = recordingService.uploadRecording(webmUpload());
+    assertThat(encodeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    try {
+      // Encode is blocked now - the only connection must still be available
+      RecordingDetailResponse recording =
+          CompletableFuture.supplyAsync(
+                  () -> recordingService.getRecordingByUuid(uploaded.getUuid()))
+              .get(5, TimeUnit.SECONDS);
+      assertThat(recording.getProcessingStatus()).isEqualTo(ProcessingStatus.PROCESSING);
+    } finally {
+      releaseEncode.countDown();
+    }
+
+    waitFor(() -> isReady(uploaded.getUuid()));
+  }
+
+  @Test
+  void recordingIsClaimedOnlyOnce() throws Exception {
+    CountDownLatch releaseEncode = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              releaseEncode.await();
+              return null;
+            })
+        .when(videoReencodingService)
+        .reencodeVideo(any());
+
+    RecordingResponse uploaded = recordingService.uploadRecording(webmUpload());
+    String uuid = uploaded.getUuid();
+    waitFor(
+        () -> recordingRepository.findByUuid(uuid).orElseThrow().getProcessingStartedAt() != null);
+
+    // A second dispatch for the same recording must not start another encode
+    LocalDateTime now = LocalDateTime.now();
+    assertThat(recordingRepository.claimForProcessing(uuid, now, now.minusHours(1))).isZero();
+    videoProcessingService.processVideoAsync(uuid);
+    verify(videoReencodingService, after(500).times(1)).reencodeVideo(any());
+
+    releaseEncode.countDown();
+    waitFor(() -> isReady(uuid));
+  }
+
+  @Test
+  void expiredClaimIsTakenOver() throws Exception {
+    // First encode hangs like a worker on a pod that went away, the takeover encode returns
+    CountDownLatch releaseEncode = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              releaseEncode.await();
+              return null;
+            })
+        .doNothing()
+        .when(videoReencodingService)
+        .reencodeVideo(any());
+
+    RecordingResponse uploaded = recordingService.uploadRecording(webmUpload());
+    String uuid = uploaded.getUuid();
+    waitFor(
+        () -> recordingRepository.findByUuid(uuid).orElseThrow().getProcessingStartedAt() != null);
+
+    Recording recording = recordingRepository.findByUuid(uuid).orElseThrow();
+    recording.setProcessingStartedAt(LocalDateTime.now().minusHours(2));
+    recordingRepository.save(recording);
+
+    processingRecoveryService.resumeStaleProcessing();
+    waitFor(() -> isReady(uuid));
+    verify(videoReencodingService, times(2)).reencodeVideo(any());
+
+    // The abandoned worker finishing late must not overwrite the result
+    long version = recordingRepository.findByUuid(uuid).orElseThrow().getVersion();
+    releaseEncode.countDown();
+    verify(videoReencodingService, after(500).times(2)).reencodeVideo(any());
+    assertThat(recordingRepository.findByUuid(uuid).orElseThrow().getVersion()).isEqualTo(version);
+    assertThat(isReady(uuid)).isTrue();
+  }
+
+  private boolean isReady(String uuid) {
+    return recordingService.getRecordingByUuid(uuid).getProcessingStatus()
+        == ProcessingStatus.READY;
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("condition met within 5s").isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  private static MockMultipartFile webmUpload() {
+    return new MockMultipartFile("video", "recording.webm", "video/webm", new byte[] {1, 2, 3});
+  }
+}